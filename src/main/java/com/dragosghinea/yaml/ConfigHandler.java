@@ -2,6 +2,12 @@ package com.dragosghinea.yaml;
 
 import com.dragosghinea.yaml.annotations.Comments;
 import com.dragosghinea.yaml.annotations.OnCreationValue;
+import com.dragosghinea.yaml.compact.CompactDeserializationModule;
+import com.dragosghinea.yaml.compact.StringDeduplicator;
+import com.dragosghinea.yaml.events.ConfigChange;
+import com.dragosghinea.yaml.events.ConfigChangeEvent;
+import com.dragosghinea.yaml.events.ConfigChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -12,17 +18,29 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
 import com.dragosghinea.yaml.exceptions.ConfigTempFileIssue;
+import com.dragosghinea.yaml.exceptions.ConfigValidationIssue;
+import com.dragosghinea.yaml.validation.ConfigValidationModule;
+import com.dragosghinea.yaml.validation.ConfigValidator;
+import com.dragosghinea.yaml.validation.ConstraintViolation;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import org.yaml.snakeyaml.LoaderOptions;
 
 import java.io.*;
 import java.lang.reflect.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,6 +54,13 @@ public class ConfigHandler<T extends ConfigValues> {
         private final int indentation;
     }
 
+    @Getter
+    @AllArgsConstructor
+    private static class Subscription<T extends ConfigValues> {
+        private final String keyPrefix;
+        private final ConfigChangeListener<T> listener;
+    }
+
     private final Class<T> configClass;
 
     private final ObjectMapper objectMapper = new ObjectMapper(
@@ -48,11 +73,29 @@ public class ConfigHandler<T extends ConfigValues> {
     {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.registerModule(new ConfigValidationModule());
     }
 
+    // used for loading, replaced by a copy with extra modules when compact deserialization is enabled
+    private ObjectMapper readingMapper = objectMapper;
+
+    // keeps null values, which the saved yaml leaves out, so a snapshot does not fall back to the constructor defaults
+    private final ObjectMapper snapshotMapper = objectMapper.copy()
+            .setSerializationInclusion(JsonInclude.Include.ALWAYS);
+
     @Getter
     private final Path path;
 
+    private final List<Subscription<T>> subscriptions = new CopyOnWriteArrayList<>();
+
+    // what a reload is compared against: the config last loaded from or saved to the file, guarded by this.
+    // while anyone is subscribed it is a detached copy, so in-place edits of the application's instance don't leak into it
+    private T baseline;
+
+    // notifications queued in reload order, delivered outside the lock by one thread at a time
+    private final Queue<Runnable> pendingNotifications = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
     public ConfigHandler(Class<T> classOfTheParameter, Path path) {
         this.path = path;
         this.configClass = classOfTheParameter;
@@ -75,11 +118,99 @@ public class ConfigHandler<T extends ConfigValues> {
         if (!path.toFile().exists() || path.toFile().length() == 0) {
             T config = onCreationInitializer.get();
             applyOnCreationValues(config);
+            // nothing was bound, so the config is walked instead
+            validate(config);
             save(config);
             return config;
         }
 
-        return objectMapper.readValue(path.toFile(), configClass);
+        // the sections are validated while they are bound
+        List<ConstraintViolation> violations = new ArrayList<>();
+        T config = ConfigValidationModule.collectingViolations(readingMapper.readerFor(configClass), violations)
+                .readValue(path.toFile());
+        if (!violations.isEmpty())
+            throw new ConfigValidationIssue(violations);
+
+        updateBaseline(config);
+        return config;
+    }
+
+    // loads the config again and notifies the listeners whose key prefix is touched by what changed since the last load or save.
+    // reloads are serialized so each one is compared against the config the previous one produced,
+    // and the listeners are called in reload order once the handler is unlocked, so they may use the handler from any thread
+    @SneakyThrows
+    public T reload() {
+        T newConfig;
+        synchronized (this) {
+            T oldConfig = baseline;
+            newConfig = load();
+            queueNotifications(oldConfig, newConfig);
+        }
+
+        dispatchNotifications();
+        return newConfig;
+    }
+
+    public T reload(Supplier<T> onCreationInitializer) throws IOException, ConfigTempFileIssue {
+        T newConfig;
+        synchronized (this) {
+            T oldConfig = baseline;
+            newConfig = load(onCreationInitializer);
+            queueNotifications(oldConfig, newConfig);
+        }
+
+        dispatchNotifications();
+        return newConfig;
+    }
+
+    // an empty prefix listens to every key, "database" listens to "database" and every key under it
+    public synchronized void subscribe(String keyPrefix, ConfigChangeListener<T> listener) {
+        Objects.requireNonNull(keyPrefix, "keyPrefix");
+        Objects.requireNonNull(listener, "listener");
+
+        // the first listener detaches the baseline from the instance the application holds
+        if (subscriptions.isEmpty())
+            baseline = snapshot(baseline);
+
+        subscriptions.add(new Subscription<>(keyPrefix, listener));
+    }
+
+    public void unsubscribe(ConfigChangeListener<T> listener) {
+        subscriptions.removeIf(subscription -> subscription.getListener() == listener);
+    }
+
+    // changes between two configs by dotted key, sections are compared field by field
+    public List<ConfigChange> diff(T oldConfig, T newConfig) {
+        List<ConfigChange> changes = new ArrayList<>();
+
+        computeChanges("", oldConfig, newConfig, changes);
+
+        return changes;
+    }
+
+    // opt-in for large, string-heavy configs: equal strings share one instance through the deduplicator (null to skip),
+    // and List<Integer>, List<Long>, List<Double> fields can be backed by primitive arrays
+    public void enableCompactDeserialization(StringDeduplicator deduplicator, boolean compactPrimitiveLists) {
+        enableCompactDeserialization(deduplicator, compactPrimitiveLists, new LoaderOptions().getCodePointLimit());
+    }
+
+    // snakeyaml refuses documents over 3MB by default, large tables need a higher code point limit
+    public void enableCompactDeserialization(StringDeduplicator deduplicator, boolean compactPrimitiveLists, int codePointLimit) {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(codePointLimit);
+
+        readingMapper = objectMapper.copyWith(YAMLFactory.builder().loaderOptions(loaderOptions).build())
+                .registerModule(new CompactDeserializationModule(deduplicator, compactPrimitiveLists));
+    }
+
+    // checks the @NotEmpty, @Size, @Range and @Pattern constraints of a config that was not read from the file, reporting every violation at once
+    public void validate(T config) throws ConfigValidationIssue {
+        if (config == null)
+            return;
+
+        List<ConstraintViolation> violations = ConfigValidator.forClass(config.getClass()).validate(config);
+        if (!violations.isEmpty())
+            throw new ConfigValidationIssue(violations);
     }
 
     public void save(T config) throws IOException, ConfigTempFileIssue {
@@ -98,6 +229,116 @@ public class ConfigHandler<T extends ConfigValues> {
         objectMapper.writeValue(path.toFile(), config);
         Map<String, String[]> comments = computeComments(config);
         applyComments(path, comments);
+        updateBaseline(config);
+    }
+
+    private synchronized void updateBaseline(T config) {
+        baseline = subscriptions.isEmpty() ? config : snapshot(config);
+    }
+
+    // a copy sharing nothing with the given config, made through its yaml representation
+    @SuppressWarnings("unchecked")
+    private T snapshot(T config) {
+        if (config == null)
+            return null;
+
+        try {
+            return (T) readingMapper.treeToValue(snapshotMapper.valueToTree(config), config.getClass());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void queueNotifications(T oldConfig, T newConfig) {
+        // nothing to compare against on the first load
+        if (oldConfig == null || subscriptions.isEmpty())
+            return;
+
+        List<ConfigChange> changes = diff(oldConfig, newConfig);
+        if (changes.isEmpty())
+            return;
+
+        for (Subscription<T> subscription : subscriptions) {
+            List<ConfigChange> matchingChanges = changes.stream()
+                    .filter(change -> isUnderPrefix(change.getKey(), subscription.getKeyPrefix()))
+                    .collect(Collectors.toList());
+
+            if (matchingChanges.isEmpty())
+                continue;
+
+            ConfigChangeEvent<T> event = new ConfigChangeEvent<>(subscription.getKeyPrefix(), matchingChanges, oldConfig, newConfig);
+            pendingNotifications.add(() -> {
+                try {
+                    subscription.getListener().onChange(event);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+    }
+
+    // whoever finds no other thread delivering drains the queue, a reload made by a listener is delivered after the current one
+    private void dispatchNotifications() {
+        while (!pendingNotifications.isEmpty() && dispatching.compareAndSet(false, true)) {
+            try {
+                Runnable notification;
+                while ((notification = pendingNotifications.poll()) != null)
+                    notification.run();
+            } finally {
+                dispatching.set(false);
+            }
+        }
+    }
+
+    // a replaced section also concerns the listeners of the keys inside it
+    private boolean isUnderPrefix(String key, String keyPrefix) {
+        // an empty key is the whole config being replaced, which concerns everyone
+        return keyPrefix.isEmpty()
+                || key.isEmpty()
+                || key.equals(keyPrefix)
+                || key.startsWith(keyPrefix + ".")
+                || keyPrefix.startsWith(key + ".");
+    }
+
+    private void computeChanges(String key, Object oldValue, Object newValue, List<ConfigChange> changes) {
+        if (oldValue == newValue)
+            return;
+
+        if (oldValue == null) {
+            changes.add(new ConfigChange(key, ConfigChange.Type.ADDED, null, newValue));
+            return;
+        }
+
+        if (newValue == null) {
+            changes.add(new ConfigChange(key, ConfigChange.Type.REMOVED, oldValue, null));
+            return;
+        }
+
+        if (oldValue instanceof ConfigValues && oldValue.getClass() == newValue.getClass()) {
+            streamFields((ConfigValues) newValue)
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                    .filter(field -> !field.isAnnotationPresent(JsonIgnore.class))
+                    .forEach(field -> {
+                        String fieldName = getFieldName(field);
+                        String innerKey = key.isEmpty() ? fieldName : key + "." + fieldName;
+                        computeChanges(innerKey, getFieldValue(field, (ConfigValues) oldValue), getFieldValue(field, (ConfigValues) newValue), changes);
+                    });
+            return;
+        }
+
+        if (!isSameValue(oldValue, newValue))
+            changes.add(new ConfigChange(key, ConfigChange.Type.MODIFIED, oldValue, newValue));
+    }
+
+    // scalars are compared directly, anything else (lists of sections, maps) by its yaml representation
+    private boolean isSameValue(Object oldValue, Object newValue) {
+        if (Objects.deepEquals(oldValue, newValue))
+            return true;
+
+        if (oldValue instanceof CharSequence || oldValue instanceof Number || oldValue instanceof Boolean || oldValue instanceof Enum)
+            return false;
+
+        return objectMapper.valueToTree(oldValue).equals(objectMapper.valueToTree(newValue));
     }
 
     private void applyOnCreationValues(ConfigValues config) {
@@ -108,7 +349,7 @@ public class ConfigHandler<T extends ConfigValues> {
                         field.setAccessible(true);
 
                         OnCreationValue annotation = field.getAnnotation(OnCreationValue.class);
-                        field.set(config, objectMapper.readValue(annotation.value(), field.getType()));
+                        field.set(config, readingMapper.readValue(annotation.value(), field.getType()));
                     } catch (IllegalAccessException e) {
                         e.printStackTrace();
                     } catch (JsonProcessingException e) {
@@ -254,7 +495,8 @@ public class ConfigHandler<T extends ConfigValues> {
     }
 
     private Map<Integer, CommentsMetadata> getCommentsAndIndentationMaps(Path configPath, Map<String, String[]> comments) {
-        YAMLFactory yamlFactory = new YAMLFactory();
+        // same parser limits as loading, so a config that could be loaded can also be saved
+        YAMLFactory yamlFactory = (YAMLFactory) readingMapper.getFactory();
         Stack<String> keyBuilder = new Stack<>();
         Map<Integer, CommentsMetadata> commentsMetadataPerLine = new HashMap<>();
 
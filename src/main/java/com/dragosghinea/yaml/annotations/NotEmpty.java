@@ -0,0 +1,12 @@
+package com.dragosghinea.yaml.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// value must not be null, and strings, collections, maps and arrays must not be empty
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NotEmpty {
+}
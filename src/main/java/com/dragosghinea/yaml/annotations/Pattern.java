@@ -0,0 +1,14 @@
+package com.dragosghinea.yaml.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// the whole string value must match the regex, null values are ignored
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Pattern {
+
+    String value();
+}
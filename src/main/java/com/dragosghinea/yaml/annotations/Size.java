@@ -0,0 +1,16 @@
+package com.dragosghinea.yaml.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// inclusive bounds for the length of strings, collections, maps and arrays, null values are ignored
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Size {
+
+    int min() default 0;
+
+    int max() default Integer.MAX_VALUE;
+}
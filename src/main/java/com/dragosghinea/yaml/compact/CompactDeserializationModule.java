@@ -0,0 +1,175 @@
+package com.dragosghinea.yaml.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Jackson module lowering the heap used by bound configs.
+ * Strings, including map keys, go through a {@link StringDeduplicator}, and
+ * {@code List<Integer>}, {@code List<Long>} and {@code List<Double>} fields are backed by primitive arrays.
+ */
+public class CompactDeserializationModule extends SimpleModule {
+
+    private final boolean compactPrimitiveLists;
+
+    public CompactDeserializationModule(StringDeduplicator deduplicator, boolean compactPrimitiveLists) {
+        super("CompactDeserializationModule");
+
+        if (deduplicator != null) {
+            addDeserializer(String.class, new DeduplicatingStringDeserializer(deduplicator));
+            addKeyDeserializer(String.class, new DeduplicatingKeyDeserializer(deduplicator));
+        }
+
+        this.compactPrimitiveLists = compactPrimitiveLists;
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+
+        if (compactPrimitiveLists)
+            context.addDeserializers(new PrimitiveListDeserializers());
+    }
+
+    private static class DeduplicatingStringDeserializer extends StdDeserializer<String> {
+        private final StringDeduplicator deduplicator;
+
+        private DeduplicatingStringDeserializer(StringDeduplicator deduplicator) {
+            super(String.class);
+            this.deduplicator = deduplicator;
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return deduplicator.deduplicate(StringDeserializer.instance.deserialize(p, ctxt));
+        }
+    }
+
+    private static class DeduplicatingKeyDeserializer extends KeyDeserializer {
+        private final StringDeduplicator deduplicator;
+
+        private DeduplicatingKeyDeserializer(StringDeduplicator deduplicator) {
+            this.deduplicator = deduplicator;
+        }
+
+        @Override
+        public Object deserializeKey(String key, DeserializationContext ctxt) {
+            return deduplicator.deduplicate(key);
+        }
+    }
+
+    // only kicks in for fields declared as List (or a supertype of it), concrete list types are left to jackson
+    private static class PrimitiveListDeserializers extends Deserializers.Base {
+        @Override
+        public JsonDeserializer<?> findCollectionDeserializer(CollectionType type, DeserializationConfig config, BeanDescription beanDesc,
+                                                              TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+            if (!type.getRawClass().isAssignableFrom(List.class) || elementDeserializer != null)
+                return null;
+
+            Class<?> contentClass = type.getContentType().getRawClass();
+            if (contentClass == Integer.class)
+                return new IntListDeserializer();
+            if (contentClass == Long.class)
+                return new LongListDeserializer();
+            if (contentClass == Double.class)
+                return new DoubleListDeserializer();
+
+            return null;
+        }
+    }
+
+    // reads the elements straight into the primitive array, a null element would have no faithful value so it fails the load
+    private static abstract class PrimitiveListDeserializer<L extends List<?>> extends StdDeserializer<List<?>> {
+        private PrimitiveListDeserializer() {
+            super(List.class);
+        }
+
+        @Override
+        public List<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken())
+                return (List<?>) ctxt.handleUnexpectedToken(List.class, p);
+
+            L list = createList();
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == JsonToken.VALUE_NULL)
+                    return (List<?>) ctxt.reportInputMismatch(this, "Null element at index %d, compact primitive lists do not accept nulls", list.size());
+
+                addElement(p, ctxt, list);
+            }
+
+            return trim(list);
+        }
+
+        protected abstract L createList();
+
+        protected abstract void addElement(JsonParser p, DeserializationContext ctxt, L list) throws IOException;
+
+        protected abstract L trim(L list);
+    }
+
+    private static class IntListDeserializer extends PrimitiveListDeserializer<IntArrayList> {
+        @Override
+        protected IntArrayList createList() {
+            return new IntArrayList();
+        }
+
+        @Override
+        protected void addElement(JsonParser p, DeserializationContext ctxt, IntArrayList list) throws IOException {
+            list.addInt(_parseIntPrimitive(p, ctxt));
+        }
+
+        @Override
+        protected IntArrayList trim(IntArrayList list) {
+            list.trimToSize();
+            return list;
+        }
+    }
+
+    private static class LongListDeserializer extends PrimitiveListDeserializer<LongArrayList> {
+        @Override
+        protected LongArrayList createList() {
+            return new LongArrayList();
+        }
+
+        @Override
+        protected void addElement(JsonParser p, DeserializationContext ctxt, LongArrayList list) throws IOException {
+            list.addLong(_parseLongPrimitive(p, ctxt));
+        }
+
+        @Override
+        protected LongArrayList trim(LongArrayList list) {
+            list.trimToSize();
+            return list;
+        }
+    }
+
+    private static class DoubleListDeserializer extends PrimitiveListDeserializer<DoubleArrayList> {
+        @Override
+        protected DoubleArrayList createList() {
+            return new DoubleArrayList();
+        }
+
+        @Override
+        protected void addElement(JsonParser p, DeserializationContext ctxt, DoubleArrayList list) throws IOException {
+            list.addDouble(_parseDoublePrimitive(p, ctxt));
+        }
+
+        @Override
+        protected DoubleArrayList trim(DoubleArrayList list) {
+            list.trimToSize();
+            return list;
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dragosghinea.yaml.compact;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of {@code double} values stored in a primitive array, boxing only on access.
+ * Null elements are not supported.
+ */
+public class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+
+    private double[] values;
+    private int size;
+
+    public DoubleArrayList() {
+        this(new double[0]);
+    }
+
+    public DoubleArrayList(double[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    public double getDouble(int index) {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    // appends without boxing
+    public void addDouble(double value) {
+        growIfFull();
+
+        values[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+        checkIndex(index, size);
+        double previous = values[index];
+        values[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Double element) {
+        checkIndex(index, size + 1);
+        growIfFull();
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Double remove(int index) {
+        checkIndex(index, size);
+        double previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public void trimToSize() {
+        if (size < values.length)
+            values = Arrays.copyOf(values, size);
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void growIfFull() {
+        if (size == values.length)
+            values = Arrays.copyOf(values, Math.max(8, size + (size >> 1)));
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dragosghinea.yaml.compact;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of {@code int} values stored in a primitive array, boxing only on access.
+ * Null elements are not supported.
+ */
+public class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+
+    private int[] values;
+    private int size;
+
+    public IntArrayList() {
+        this(new int[0]);
+    }
+
+    public IntArrayList(int[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    // appends without boxing
+    public void addInt(int value) {
+        growIfFull();
+
+        values[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        checkIndex(index, size);
+        int previous = values[index];
+        values[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        checkIndex(index, size + 1);
+        growIfFull();
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        checkIndex(index, size);
+        int previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public void trimToSize() {
+        if (size < values.length)
+            values = Arrays.copyOf(values, size);
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void growIfFull() {
+        if (size == values.length)
+            values = Arrays.copyOf(values, Math.max(8, size + (size >> 1)));
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+}
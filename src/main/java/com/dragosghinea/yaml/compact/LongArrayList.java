@@ -0,0 +1,96 @@
+package com.dragosghinea.yaml.compact;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of {@code long} values stored in a primitive array, boxing only on access.
+ * Null elements are not supported.
+ */
+public class LongArrayList extends AbstractList<Long> implements RandomAccess {
+
+    private long[] values;
+    private int size;
+
+    public LongArrayList() {
+        this(new long[0]);
+    }
+
+    public LongArrayList(long[] values) {
+        this.values = values;
+        this.size = values.length;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    // appends without boxing
+    public void addLong(long value) {
+        growIfFull();
+
+        values[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        checkIndex(index, size);
+        long previous = values[index];
+        values[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        checkIndex(index, size + 1);
+        growIfFull();
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Long remove(int index) {
+        checkIndex(index, size);
+        long previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public void trimToSize() {
+        if (size < values.length)
+            values = Arrays.copyOf(values, size);
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void growIfFull() {
+        if (size == values.length)
+            values = Arrays.copyOf(values, Math.max(8, size + (size >> 1)));
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.dragosghinea.yaml.compact;
+
+import lombok.Getter;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Table of canonical strings, so equal strings read from configs share a single instance.
+ * Strings are held weakly: once no loaded config references a string anymore, it is dropped from the table,
+ * so a long-running process reloading changing values does not fill the table with stale strings.
+ * While the table holds {@code maxSize} live strings, new strings are returned as they are.
+ * An instance can be shared between several handlers to deduplicate across configs.
+ */
+public class StringDeduplicator {
+
+    // the value must not reference its key strongly, or the entry would never be dropped
+    private final Map<String, WeakReference<String>> table = new WeakHashMap<>();
+
+    @Getter
+    private final int maxSize;
+
+    public StringDeduplicator() {
+        this(1 << 16);
+    }
+
+    public StringDeduplicator(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public synchronized String deduplicate(String value) {
+        if (value == null)
+            return null;
+
+        WeakReference<String> reference = table.get(value);
+        String canonical = reference == null ? null : reference.get();
+        if (canonical != null)
+            return canonical;
+
+        if (table.size() >= maxSize)
+            return value;
+
+        table.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    // the number of strings still referenced by something, the collected ones are dropped first
+    public synchronized int size() {
+        return table.size();
+    }
+
+    public synchronized void clear() {
+        table.clear();
+    }
+
+}
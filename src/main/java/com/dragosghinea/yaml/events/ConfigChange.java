@@ -0,0 +1,26 @@
+package com.dragosghinea.yaml.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ConfigChange {
+
+    public enum Type {
+        ADDED,
+        REMOVED,
+        MODIFIED
+    }
+
+    private final String key;
+    private final Type type;
+    private final Object oldValue;
+    private final Object newValue;
+
+    @Override
+    public String toString() {
+        return type + " " + key + ": " + oldValue + " -> " + newValue;
+    }
+
+}
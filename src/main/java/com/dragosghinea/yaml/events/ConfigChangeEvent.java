@@ -0,0 +1,19 @@
+package com.dragosghinea.yaml.events;
+
+import com.dragosghinea.yaml.ConfigValues;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// the changes of a single reload that fall under the key prefix a listener subscribed to
+@Getter
+@AllArgsConstructor
+public class ConfigChangeEvent<T extends ConfigValues> {
+
+    private final String keyPrefix;
+    private final List<ConfigChange> changes;
+    private final T oldConfig;
+    private final T newConfig;
+
+}
@@ -0,0 +1,9 @@
+package com.dragosghinea.yaml.events;
+
+import com.dragosghinea.yaml.ConfigValues;
+
+@FunctionalInterface
+public interface ConfigChangeListener<T extends ConfigValues> {
+
+    void onChange(ConfigChangeEvent<T> event);
+}
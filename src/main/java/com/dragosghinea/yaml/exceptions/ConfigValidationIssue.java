@@ -0,0 +1,22 @@
+package com.dragosghinea.yaml.exceptions;
+
+import com.dragosghinea.yaml.validation.ConstraintViolation;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+public class ConfigValidationIssue extends IOException {
+
+    private final List<ConstraintViolation> violations;
+
+    public ConfigValidationIssue(List<ConstraintViolation> violations) {
+        super("Config validation failed:\n" + violations.stream()
+                .map(violation -> " - " + violation)
+                .collect(Collectors.joining("\n")));
+        this.violations = violations;
+    }
+
+}
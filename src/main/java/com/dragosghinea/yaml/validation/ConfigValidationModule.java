@@ -0,0 +1,113 @@
+package com.dragosghinea.yaml.validation;
+
+import com.dragosghinea.yaml.ConfigValues;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Jackson module running the {@link ConfigValidator} checks while a config is bound.
+ * Each section is checked as soon as its deserializer returns, so its constructor defaults and the keys missing
+ * from the file are included, and its dotted key is taken from the parser context.
+ * Sections are only checked by readers created through {@link #collectingViolations(ObjectReader, List)}.
+ */
+public class ConfigValidationModule extends SimpleModule {
+
+    private static final Object COLLECTOR_ATTRIBUTE = ViolationCollector.class;
+
+    private static class ViolationCollector {
+        private final List<ConstraintViolation> violations;
+        // sections already checked while binding, so their parents don't check them again
+        private final Set<Object> validated = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private ViolationCollector(List<ConstraintViolation> violations) {
+            this.violations = violations;
+        }
+    }
+
+    public ConfigValidationModule() {
+        super("ConfigValidationModule");
+
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+                if (!ConfigValues.class.isAssignableFrom(beanDesc.getBeanClass()))
+                    return deserializer;
+
+                // compiles the constraints up front, so a misplaced one fails before anything is read
+                ConfigValidator.forClass(beanDesc.getBeanClass());
+                return new ValidatingDeserializer(deserializer);
+            }
+        });
+    }
+
+    // the violations found while reading with the returned reader are added to the given list
+    public static ObjectReader collectingViolations(ObjectReader reader, List<ConstraintViolation> violations) {
+        return reader.withAttribute(COLLECTOR_ATTRIBUTE, new ViolationCollector(violations));
+    }
+
+    private static class ValidatingDeserializer extends DelegatingDeserializer {
+
+        private ValidatingDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new ValidatingDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ViolationCollector collector = (ViolationCollector) ctxt.getAttribute(COLLECTOR_ATTRIBUTE);
+            if (collector == null)
+                return super.deserialize(p, ctxt);
+
+            // read before binding, the parser moves past the section afterwards
+            String key = getKey(p);
+            Object value = super.deserialize(p, ctxt);
+
+            if (value instanceof ConfigValues) {
+                ConfigValidator.forClass(value.getClass()).validateBound(key, (ConfigValues) value, collector.violations, collector.validated);
+                collector.validated.add(value);
+            }
+
+            return value;
+        }
+
+        // the keys of the enclosing objects and the indexes of the enclosing lists, e.g. "servers.0"
+        private static String getKey(JsonParser p) {
+            JsonStreamContext context = p.getParsingContext();
+
+            // inside the section's own object, its key is held by the enclosing context
+            if (p.hasToken(JsonToken.START_OBJECT) || p.hasToken(JsonToken.FIELD_NAME))
+                context = context.getParent();
+
+            LinkedList<String> parts = new LinkedList<>();
+            for (; context != null && !context.inRoot(); context = context.getParent()) {
+                if (context.inArray())
+                    parts.addFirst(String.valueOf(context.getCurrentIndex()));
+                else if (context.getCurrentName() != null)
+                    parts.addFirst(context.getCurrentName());
+            }
+
+            return String.join(".", parts);
+        }
+    }
+
+}
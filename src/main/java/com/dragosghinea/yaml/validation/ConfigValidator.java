@@ -0,0 +1,330 @@
+package com.dragosghinea.yaml.validation;
+
+import com.dragosghinea.yaml.ConfigValues;
+import com.dragosghinea.yaml.annotations.NotEmpty;
+import com.dragosghinea.yaml.annotations.Pattern;
+import com.dragosghinea.yaml.annotations.Range;
+import com.dragosghinea.yaml.annotations.Size;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Constraint checks for a {@link ConfigValues} class, built once from its annotations and cached.
+ * A constraint placed on a field of an unsupported type is rejected when the class is first compiled.
+ * <p>
+ * When a config is read from a file, {@link ConfigValidationModule} checks every section as soon as jackson has bound it.
+ * {@link #validate(ConfigValues)} walks an object that was not bound, such as a config created from its defaults,
+ * descending into nested sections, including sections held in lists, maps and arrays.
+ * Either way every violation is collected under its dotted key.
+ */
+public class ConfigValidator {
+
+    private static final Map<Class<?>, ConfigValidator> VALIDATORS = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    private interface Constraint {
+        // returns the violation message, or null if the value is valid
+        String check(Object value);
+    }
+
+    private enum Nesting {
+        NONE,
+        // the field itself is a section
+        SECTION,
+        // the field is a list, map or array of sections
+        CONTAINER
+    }
+
+    @AllArgsConstructor
+    private static class FieldRule {
+        private final Field field;
+        private final String name;
+        private final List<Constraint> constraints;
+        private final Nesting nesting;
+    }
+
+    private final List<FieldRule> rules;
+
+    private ConfigValidator(Class<?> configClass) {
+        List<FieldRule> compiledRules = new ArrayList<>();
+
+        Class<?> classOrSuperClass = configClass;
+        while (classOrSuperClass != ConfigValues.class && classOrSuperClass != null) {
+            for (Field field : classOrSuperClass.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic())
+                    continue;
+
+                List<Constraint> constraints = compileConstraints(field);
+                Nesting nesting = getNesting(field);
+                if (constraints.isEmpty() && nesting == Nesting.NONE)
+                    continue;
+
+                field.setAccessible(true);
+                compiledRules.add(new FieldRule(field, getFieldName(field), constraints, nesting));
+            }
+            classOrSuperClass = classOrSuperClass.getSuperclass();
+        }
+
+        this.rules = compiledRules;
+    }
+
+    public static ConfigValidator forClass(Class<?> configClass) {
+        return VALIDATORS.computeIfAbsent(configClass, ConfigValidator::new);
+    }
+
+    public boolean hasConstraints() {
+        return !rules.isEmpty();
+    }
+
+    public List<ConstraintViolation> validate(ConfigValues config) {
+        if (config == null || !hasConstraints())
+            return Collections.emptyList();
+
+        List<ConstraintViolation> violations = new ArrayList<>();
+        validate("", config, violations, Collections.emptySet());
+        return violations;
+    }
+
+    // checks a section jackson has just bound, the nested sections in alreadyValidated were bound and checked before it
+    void validateBound(String key, ConfigValues config, List<ConstraintViolation> violations, Set<Object> alreadyValidated) {
+        validate(key, config, violations, alreadyValidated);
+    }
+
+    private void validate(String key, ConfigValues config, List<ConstraintViolation> violations, Set<Object> alreadyValidated) {
+        for (FieldRule rule : rules) {
+            String innerKey = key.isEmpty() ? rule.name : key + "." + rule.name;
+
+            Object value;
+            try {
+                value = rule.field.get(config);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+
+            for (Constraint constraint : rule.constraints) {
+                String message = constraint.check(value);
+                if (message != null)
+                    violations.add(new ConstraintViolation(innerKey, value, message));
+            }
+
+            if (value == null)
+                continue;
+
+            if (rule.nesting == Nesting.SECTION) {
+                validateSection(innerKey, value, violations, alreadyValidated);
+            } else if (rule.nesting == Nesting.CONTAINER) {
+                validateContainer(innerKey, value, violations, alreadyValidated);
+            }
+        }
+    }
+
+    private static void validateSection(String key, Object value, List<ConstraintViolation> violations, Set<Object> alreadyValidated) {
+        if (value instanceof ConfigValues && !alreadyValidated.contains(value))
+            forClass(value.getClass()).validate(key, (ConfigValues) value, violations, alreadyValidated);
+    }
+
+    // list and array elements are keyed by their index, map values by their key, e.g. "servers.0.port"
+    private static void validateContainer(String key, Object value, List<ConstraintViolation> violations, Set<Object> alreadyValidated) {
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                validateSection(key + "." + entry.getKey(), entry.getValue(), violations, alreadyValidated);
+            return;
+        }
+
+        if (value instanceof Collection) {
+            int index = 0;
+            for (Object element : (Collection<?>) value)
+                validateSection(key + "." + index++, element, violations, alreadyValidated);
+            return;
+        }
+
+        if (value instanceof Object[]) {
+            Object[] elements = (Object[]) value;
+            for (int index = 0; index < elements.length; index++)
+                validateSection(key + "." + index, elements[index], violations, alreadyValidated);
+        }
+    }
+
+    private static Nesting getNesting(Field field) {
+        Class<?> type = field.getType();
+        if (ConfigValues.class.isAssignableFrom(type))
+            return Nesting.SECTION;
+
+        if (type.isArray())
+            return ConfigValues.class.isAssignableFrom(type.getComponentType()) ? Nesting.CONTAINER : Nesting.NONE;
+
+        if (!Collection.class.isAssignableFrom(type) && !Map.class.isAssignableFrom(type))
+            return Nesting.NONE;
+
+        if (!(field.getGenericType() instanceof ParameterizedType))
+            return Nesting.NONE;
+
+        // the element type of a collection, the value type of a map
+        Type[] typeArguments = ((ParameterizedType) field.getGenericType()).getActualTypeArguments();
+        Class<?> elementClass = getRawClass(typeArguments[typeArguments.length - 1]);
+        return elementClass != null && ConfigValues.class.isAssignableFrom(elementClass) ? Nesting.CONTAINER : Nesting.NONE;
+    }
+
+    private static Class<?> getRawClass(Type type) {
+        if (type instanceof Class)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return getRawClass(((ParameterizedType) type).getRawType());
+        if (type instanceof WildcardType)
+            return getRawClass(((WildcardType) type).getUpperBounds()[0]);
+        if (type instanceof TypeVariable)
+            return getRawClass(((TypeVariable<?>) type).getBounds()[0]);
+
+        return null;
+    }
+
+    private static List<Constraint> compileConstraints(Field field) {
+        List<Constraint> constraints = new ArrayList<>();
+        Class<?> type = field.getType();
+
+        if (field.isAnnotationPresent(NotEmpty.class)) {
+            if (type.isPrimitive())
+                throw invalidConstraint(field, NotEmpty.class, "a non-primitive type");
+
+            constraints.add(value -> {
+                if (value == null)
+                    return "must not be null";
+
+                Integer size = sizeOf(value);
+                return size != null && size == 0 ? "must not be empty" : null;
+            });
+        }
+
+        if (field.isAnnotationPresent(Size.class)) {
+            if (!hasSize(type))
+                throw invalidConstraint(field, Size.class, "a string, collection, map or array");
+
+            Size annotation = field.getAnnotation(Size.class);
+            String message = describeBounds("size must be", annotation.min(), 0, annotation.max(), Integer.MAX_VALUE);
+            int min = annotation.min();
+            int max = annotation.max();
+
+            constraints.add(value -> {
+                Integer size = sizeOf(value);
+                if (size == null || (size >= min && size <= max))
+                    return null;
+
+                return message;
+            });
+        }
+
+        if (field.isAnnotationPresent(Range.class)) {
+            if (!isNumeric(type))
+                throw invalidConstraint(field, Range.class, "a numeric type");
+
+            Range annotation = field.getAnnotation(Range.class);
+            String message = describeBounds("must be", annotation.min(), Double.NEGATIVE_INFINITY, annotation.max(), Double.POSITIVE_INFINITY);
+            double min = annotation.min();
+            double max = annotation.max();
+
+            constraints.add(value -> {
+                if (!(value instanceof Number))
+                    return null;
+
+                double number = ((Number) value).doubleValue();
+                if (number >= min && number <= max)
+                    return null;
+
+                return message;
+            });
+        }
+
+        if (field.isAnnotationPresent(Pattern.class)) {
+            if (!CharSequence.class.isAssignableFrom(type))
+                throw invalidConstraint(field, Pattern.class, "a string type");
+
+            String regex = field.getAnnotation(Pattern.class).value();
+            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(regex);
+
+            constraints.add(value -> {
+                if (value == null || pattern.matcher((CharSequence) value).matches())
+                    return null;
+
+                return "must match \"" + regex + "\"";
+            });
+        }
+
+        return constraints;
+    }
+
+    private static IllegalStateException invalidConstraint(Field field, Class<?> annotation, String expectedType) {
+        return new IllegalStateException("@" + annotation.getSimpleName() + " on " + field.getDeclaringClass().getName() + "." + field.getName()
+                + " requires " + expectedType + ", but the field is " + field.getType().getSimpleName());
+    }
+
+    private static boolean hasSize(Class<?> type) {
+        return CharSequence.class.isAssignableFrom(type)
+                || Collection.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type)
+                || type.isArray();
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        if (type.isPrimitive())
+            return type != boolean.class && type != char.class;
+
+        return Number.class.isAssignableFrom(type);
+    }
+
+    // only mentions the bounds that were actually set
+    private static String describeBounds(String prefix, double min, double defaultMin, double max, double defaultMax) {
+        boolean hasMin = min != defaultMin;
+        boolean hasMax = max != defaultMax;
+
+        if (hasMin && hasMax)
+            return prefix + " between " + formatBound(min) + " and " + formatBound(max);
+        if (hasMin)
+            return prefix + " at least " + formatBound(min);
+
+        return prefix + " at most " + formatBound(max);
+    }
+
+    private static String formatBound(double bound) {
+        if (bound == Math.rint(bound) && Math.abs(bound) < Long.MAX_VALUE)
+            return String.valueOf((long) bound);
+
+        return String.valueOf(bound);
+    }
+
+    private static Integer sizeOf(Object value) {
+        if (value instanceof CharSequence)
+            return ((CharSequence) value).length();
+        if (value instanceof Collection)
+            return ((Collection<?>) value).size();
+        if (value instanceof Map)
+            return ((Map<?, ?>) value).size();
+        if (value != null && value.getClass().isArray())
+            return Array.getLength(value);
+
+        return null;
+    }
+
+    private static String getFieldName(Field field) {
+        if (field.isAnnotationPresent(JsonProperty.class)) {
+            return field.getAnnotation(JsonProperty.class).value();
+        }
+
+        return field.getName();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.dragosghinea.yaml.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ConstraintViolation {
+
+    private final String key;
+    private final Object value;
+    private final String message;
+
+    @Override
+    public String toString() {
+        return key + ": " + message + " (was " + value + ")";
+    }
+
+}
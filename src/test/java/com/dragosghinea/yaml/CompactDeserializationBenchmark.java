@@ -0,0 +1,115 @@
+package com.dragosghinea.yaml;
+
+import com.dragosghinea.yaml.compact.StringDeduplicator;
+import lombok.Getter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Heap and load time of a generated 1M-entry config, with and without compact deserialization.
+ * Not picked up by the default test run, start it with
+ * {@code mvn test -Dtest=CompactDeserializationBenchmark -DargLine=-Xmx2g}.
+ * <p>
+ * Retained heap is the used heap after a forced GC while the loaded config is still referenced,
+ * minus the used heap after a forced GC before loading. Load time is the median of the timed loads, after a warm-up load.
+ */
+public class CompactDeserializationBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int TIMED_LOADS = 5;
+
+    @Getter
+    public static class LargeConfig extends ConfigValues {
+        private List<String> materials;
+        private Map<String, String> permissions;
+        private List<Integer> amounts;
+    }
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Heap usage of a 1M-entry config")
+    public void measure() throws Exception {
+        Path path = tempDir.resolve("large.yml");
+        generate(path);
+        System.out.printf("generated %d entries per table, %d MB on disk%n", ENTRIES, Files.size(path) >> 20);
+
+        measure("default", path, null, false);
+        measure("string deduplication", path, new StringDeduplicator(), false);
+        measure("primitive lists", path, null, true);
+        measure("both", path, new StringDeduplicator(), true);
+    }
+
+    // 1M list strings out of 1000 values, 1M map entries with values out of 500 permissions, 1M ints
+    private void generate(Path path) throws IOException {
+        Random random = new Random(1);
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("materials:");
+            for (int i = 0; i < ENTRIES; i++)
+                out.println("  - \"MATERIAL_" + random.nextInt(1000) + "\"");
+
+            out.println("permissions:");
+            for (int i = 0; i < ENTRIES; i++)
+                out.println("  node" + i + ": \"plugin.permission." + random.nextInt(500) + "\"");
+
+            out.println("amounts:");
+            for (int i = 0; i < ENTRIES; i++)
+                out.println("  - " + random.nextInt(100_000));
+        }
+    }
+
+    private void measure(String mode, Path path, StringDeduplicator deduplicator, boolean compactPrimitiveLists) throws Exception {
+        ConfigHandler<LargeConfig> configHandler = new ConfigHandler<>(LargeConfig.class, path);
+        configHandler.enableCompactDeserialization(deduplicator, compactPrimitiveLists, Integer.MAX_VALUE);
+
+        // warm-up
+        configHandler.load(LargeConfig::new);
+
+        long[] loadTimes = new long[TIMED_LOADS];
+        for (int i = 0; i < TIMED_LOADS; i++) {
+            long start = System.nanoTime();
+            configHandler.load(LargeConfig::new);
+            loadTimes[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(loadTimes);
+
+        // a fresh handler, so the previously loaded configs are no longer referenced
+        configHandler = new ConfigHandler<>(LargeConfig.class, path);
+        configHandler.enableCompactDeserialization(deduplicator, compactPrimitiveLists, Integer.MAX_VALUE);
+
+        long before = usedHeapAfterGc();
+        LargeConfig config = configHandler.load(LargeConfig::new);
+        long retained = usedHeapAfterGc() - before;
+
+        assertEquals(ENTRIES, config.getMaterials().size());
+        assertEquals(ENTRIES, config.getPermissions().size());
+        assertEquals(ENTRIES, config.getAmounts().size());
+
+        System.out.printf("%-22s retained %4d MB, load %5d ms (median of %d)%n",
+                mode, retained >> 20, loadTimes[TIMED_LOADS / 2] / 1_000_000, TIMED_LOADS);
+    }
+
+    private long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
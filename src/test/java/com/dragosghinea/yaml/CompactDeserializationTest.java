@@ -0,0 +1,124 @@
+package com.dragosghinea.yaml;
+
+import com.dragosghinea.yaml.compact.IntArrayList;
+import com.dragosghinea.yaml.compact.StringDeduplicator;
+import com.dragosghinea.yaml.exceptions.ConfigTempFileIssue;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactDeserializationTest {
+
+    private static final String TEST_FILE_CONTENT = "materials:\n" +
+            "  - \"STONE\"\n" +
+            "  - \"DIRT\"\n" +
+            "  - \"STONE\"\n" +
+            "amounts:\n" +
+            "  - 1\n" +
+            "  - 2\n" +
+            "  - 3\n" +
+            "permissions:\n" +
+            "  admin: \"STONE\"";
+
+    @Getter
+    public static class Config extends ConfigValues {
+        private List<String> materials = new ArrayList<>(Arrays.asList("STONE", "DIRT", "STONE"));
+        private List<Integer> amounts = new ArrayList<>(Arrays.asList(1, 2, 3));
+        private Map<String, String> permissions = new HashMap<>(Collections.singletonMap("admin", "STONE"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Paths.get("test.yml").toFile().delete();
+    }
+
+    @Test
+    @DisplayName("Equal strings share an instance")
+    public void testStringDeduplication() throws IOException, ConfigTempFileIssue {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        StringDeduplicator deduplicator = new StringDeduplicator();
+        configHandler.enableCompactDeserialization(deduplicator, false);
+        Config config = configHandler.load(Config::new);
+
+        assertSame(config.materials.get(0), config.materials.get(2));
+        assertSame(config.materials.get(0), config.permissions.get("admin"));
+        assertSame(deduplicator.deduplicate("admin"), config.permissions.keySet().iterator().next());
+        assertEquals(3, deduplicator.size());
+    }
+
+    @Test
+    @DisplayName("Deduplicator stops growing at its max size")
+    public void testDeduplicatorMaxSize() {
+        StringDeduplicator deduplicator = new StringDeduplicator(1);
+        String first = deduplicator.deduplicate(new String("a"));
+
+        assertSame(first, deduplicator.deduplicate(new String("a")));
+        String other = new String("b");
+        assertSame(other, deduplicator.deduplicate(other));
+        assertEquals(1, deduplicator.size());
+    }
+
+    @Test
+    @DisplayName("Deduplicator drops strings nothing references anymore")
+    public void testDeduplicatorForgetsUnreferencedStrings() throws InterruptedException {
+        StringDeduplicator deduplicator = new StringDeduplicator(2);
+        String kept = deduplicator.deduplicate(new String("kept"));
+        for (int i = 0; i < 10; i++)
+            deduplicator.deduplicate("stale" + i);
+
+        for (int attempt = 0; attempt < 10 && deduplicator.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertEquals(1, deduplicator.size());
+        assertSame(kept, deduplicator.deduplicate(new String("kept")));
+
+        String fresh = deduplicator.deduplicate(new String("fresh"));
+        assertSame(fresh, deduplicator.deduplicate(new String("fresh")));
+    }
+
+    @Test
+    @DisplayName("Primitive lists are array backed and saved back unchanged")
+    public void testCompactPrimitiveLists() throws IOException, ConfigTempFileIssue {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        configHandler.enableCompactDeserialization(null, true);
+        Config config = configHandler.load(Config::new);
+
+        assertInstanceOf(IntArrayList.class, config.amounts);
+        assertEquals(Arrays.asList(1, 2, 3), config.amounts);
+
+        config.amounts.add(4);
+        config.amounts.remove(3);
+        configHandler.save(config);
+        assertEquals(TEST_FILE_CONTENT, String.join("\n", Files.readAllLines(path)));
+    }
+
+    @Test
+    @DisplayName("Null element in a primitive list fails the load")
+    public void testNullPrimitiveElement() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        Files.write(path, Arrays.asList("amounts: [1, null, 3]"));
+        configHandler.enableCompactDeserialization(null, true);
+
+        assertThrows(IOException.class, () -> configHandler.load(Config::new));
+    }
+}
@@ -0,0 +1,241 @@
+package com.dragosghinea.yaml;
+
+import com.dragosghinea.yaml.events.ConfigChange;
+import com.dragosghinea.yaml.events.ConfigChangeEvent;
+import com.dragosghinea.yaml.exceptions.ConfigTempFileIssue;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigChangeTest {
+
+    @Getter
+    public static class PoolSection extends ConfigValues {
+        private int size = 10;
+        private List<String> hosts = new ArrayList<>(Arrays.asList("a", "b"));
+    }
+
+    @Getter
+    public static class Config extends ConfigValues {
+        private String name = "server";
+
+        @JsonProperty("data-base")
+        private PoolSection database = new PoolSection();
+
+        private PoolSection cache = new PoolSection();
+    }
+
+    @Getter
+    public static class ExtendedConfig extends Config {
+        private int extra = 1;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Paths.get("test.yml").toFile().delete();
+    }
+
+    private List<String> keys(List<ConfigChange> changes) {
+        return changes.stream()
+                .map(ConfigChange::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Diff reports changed keys only")
+    public void testDiff() {
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, Paths.get("test.yml"));
+
+        Config oldConfig = new Config();
+        Config newConfig = new Config();
+        newConfig.database.size = 20;
+        newConfig.cache.hosts.add("c");
+        newConfig.name = null;
+
+        List<ConfigChange> changes = configHandler.diff(oldConfig, newConfig);
+        assertEquals(Arrays.asList("cache.hosts", "data-base.size", "name"), keys(changes));
+
+        ConfigChange nameChange = changes.stream().filter(change -> change.getKey().equals("name")).findFirst().get();
+        assertEquals(ConfigChange.Type.REMOVED, nameChange.getType());
+        assertEquals("server", nameChange.getOldValue());
+
+        assertTrue(configHandler.diff(oldConfig, new Config()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reload notifies only the listeners of changed keys")
+    public void testReloadEvents() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        List<ConfigChangeEvent<Config>> databaseEvents = new ArrayList<>();
+        List<ConfigChangeEvent<Config>> cacheEvents = new ArrayList<>();
+        List<ConfigChangeEvent<Config>> allEvents = new ArrayList<>();
+        configHandler.subscribe("data-base", databaseEvents::add);
+        configHandler.subscribe("cache", cacheEvents::add);
+        configHandler.subscribe("", allEvents::add);
+
+        configHandler.reload();
+        assertTrue(allEvents.isEmpty());
+
+        List<String> lines = Files.readAllLines(path).stream()
+                .map(line -> line.replace("size: 10", "size: 20"))
+                .collect(Collectors.toList());
+        lines.set(lines.indexOf("cache:") + 1, "  size: 10");
+        Files.write(path, lines);
+
+        Config config = configHandler.reload();
+        assertEquals(20, config.database.size);
+        assertEquals(10, config.cache.size);
+
+        assertEquals(1, databaseEvents.size());
+        assertEquals(Arrays.asList("data-base.size"), keys(databaseEvents.get(0).getChanges()));
+        assertEquals(20, databaseEvents.get(0).getChanges().get(0).getNewValue());
+        assertSame(config, databaseEvents.get(0).getNewConfig());
+
+        assertTrue(cacheEvents.isEmpty());
+        assertEquals(1, allEvents.size());
+    }
+
+    @Test
+    @DisplayName("Removed section notifies listeners of inner keys")
+    public void testSectionRemoved() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        List<ConfigChangeEvent<Config>> events = new ArrayList<>();
+        configHandler.subscribe("cache.size", events::add);
+
+        Files.write(path, Arrays.asList("name: \"server\"", "cache: null"));
+        configHandler.reload();
+
+        assertEquals(1, events.size());
+        assertEquals(ConfigChange.Type.REMOVED, events.get(0).getChanges().get(0).getType());
+        assertEquals("cache", events.get(0).getChanges().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("In-place edits don't hide file changes")
+    public void testEditedInstance() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+
+        List<ConfigChangeEvent<Config>> events = new ArrayList<>();
+        configHandler.subscribe("", events::add);
+
+        Config config = configHandler.load();
+        config.name = "edited";
+
+        List<String> lines = Files.readAllLines(path).stream()
+                .map(line -> line.replace("name: \"server\"", "name: \"edited\""))
+                .collect(Collectors.toList());
+        Files.write(path, lines);
+        configHandler.reload();
+
+        assertEquals(1, events.size());
+        assertEquals(Arrays.asList("name"), keys(events.get(0).getChanges()));
+        assertEquals("server", events.get(0).getOldConfig().name);
+    }
+
+    @Test
+    @DisplayName("Root replacement reaches every listener")
+    public void testRootChange() throws IOException, ConfigTempFileIssue {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        List<ConfigChangeEvent<Config>> events = new ArrayList<>();
+        configHandler.subscribe("data-base", events::add);
+
+        configHandler.reload(ExtendedConfig::new);
+        assertEquals(0, events.size());
+
+        path.toFile().delete();
+        configHandler.reload(ExtendedConfig::new);
+
+        assertEquals(1, events.size());
+        assertEquals("", events.get(0).getChanges().get(0).getKey());
+        assertEquals(ConfigChange.Type.MODIFIED, events.get(0).getChanges().get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Reloading an unchanged file with null values publishes nothing")
+    public void testUnchangedNulls() throws IOException {
+        Path path = Paths.get("test.yml");
+        Files.write(path, Arrays.asList("name: null", "cache: null"));
+
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        Config config = configHandler.load();
+        assertNull(config.name);
+        assertNull(config.cache);
+
+        List<ConfigChangeEvent<Config>> events = new ArrayList<>();
+        configHandler.subscribe("", events::add);
+
+        for (int i = 0; i < 3; i++)
+            configHandler.reload();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Null key prefix is rejected")
+    public void testNullPrefix() {
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, Paths.get("test.yml"));
+
+        assertThrows(NullPointerException.class, () -> configHandler.subscribe(null, event -> {}));
+    }
+
+    @Test
+    @DisplayName("Listeners can wait on other threads using the handler")
+    public void testListenerWaitingOnHandler() throws Exception {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<Config> configHandler = new ConfigHandler<>(Config.class, path);
+        configHandler.load();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Config> loadedByListener = new ArrayList<>();
+        configHandler.subscribe("", event -> {
+            try {
+                loadedByListener.add(executor.submit(() -> configHandler.load()).get(5, TimeUnit.SECONDS));
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        List<String> lines = Files.readAllLines(path).stream()
+                .map(line -> line.replace("name: \"server\"", "name: \"edited\""))
+                .collect(Collectors.toList());
+        Files.write(path, lines);
+
+        try {
+            configHandler.reload();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loadedByListener.size());
+        assertEquals("edited", loadedByListener.get(0).name);
+    }
+}
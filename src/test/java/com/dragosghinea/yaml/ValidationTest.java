@@ -0,0 +1,220 @@
+package com.dragosghinea.yaml;
+
+import com.dragosghinea.yaml.annotations.NotEmpty;
+import com.dragosghinea.yaml.annotations.Pattern;
+import com.dragosghinea.yaml.annotations.Range;
+import com.dragosghinea.yaml.annotations.Size;
+import com.dragosghinea.yaml.exceptions.ConfigTempFileIssue;
+import com.dragosghinea.yaml.exceptions.ConfigValidationIssue;
+import com.dragosghinea.yaml.validation.ConstraintViolation;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ValidationTest {
+
+    @Getter
+    public static class DatabaseSection extends ConfigValues {
+        @NotEmpty
+        private String host = "localhost";
+
+        @Range(min = 1, max = 65535)
+        private int port = 3306;
+    }
+
+    @Getter
+    public static class ValidatedConfig extends ConfigValues {
+        @Range(min = 1)
+        private int poolSize = 10;
+
+        @Pattern("[a-z_]+")
+        private String name = "default_pool";
+
+        @Size(max = 3)
+        private List<String> tags = new ArrayList<>(Arrays.asList("a", "b"));
+
+        @JsonProperty("data-base")
+        private DatabaseSection database = new DatabaseSection();
+    }
+
+    @Getter
+    public static class ServersConfig extends ConfigValues {
+        @Range(min = 0)
+        private int retries = 0;
+
+        private List<DatabaseSection> servers = new ArrayList<>(Arrays.asList(new DatabaseSection(), new DatabaseSection()));
+
+        private Map<String, DatabaseSection> replicas = new LinkedHashMap<>(Collections.singletonMap("eu", new DatabaseSection()));
+    }
+
+    @Getter
+    public static class WrongTypeConfig extends ConfigValues {
+        @Range(min = 1)
+        private String poolSize = "10";
+    }
+
+    @Getter
+    public static class InvalidDefaultSection extends ConfigValues {
+        @Range(min = 1)
+        private int port = 0;
+    }
+
+    @Getter
+    public static class InvalidDefaultConfig extends ConfigValues {
+        @NotEmpty
+        private String name = "";
+
+        private InvalidDefaultSection missing = new InvalidDefaultSection();
+
+        private List<InvalidDefaultSection> listed = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Paths.get("test.yml").toFile().delete();
+    }
+
+    @Test
+    @DisplayName("Valid config loads")
+    public void testValidConfig() throws IOException, ConfigTempFileIssue {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<ValidatedConfig> configHandler = new ConfigHandler<>(ValidatedConfig.class, path);
+        configHandler.load();
+
+        ValidatedConfig config = configHandler.load(ValidatedConfig::new);
+        assertEquals(10, config.poolSize);
+    }
+
+    @Test
+    @DisplayName("Every violation is reported with its key")
+    public void testViolations() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<ValidatedConfig> configHandler = new ConfigHandler<>(ValidatedConfig.class, path);
+        configHandler.load();
+
+        Files.write(path, Arrays.asList(
+                "poolSize: -1",
+                "name: \"Not Valid\"",
+                "tags: [\"a\", \"b\", \"c\", \"d\"]",
+                "data-base:",
+                "  host: \"\"",
+                "  port: 70000"
+        ));
+
+        ConfigValidationIssue issue = assertThrows(ConfigValidationIssue.class, () -> configHandler.load(ValidatedConfig::new));
+        List<String> keys = issue.getViolations().stream()
+                .map(ConstraintViolation::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("data-base.host", "data-base.port", "name", "poolSize", "tags"), keys);
+    }
+
+    @Test
+    @DisplayName("Null value fails NotEmpty")
+    public void testNotEmptyNull() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<ValidatedConfig> configHandler = new ConfigHandler<>(ValidatedConfig.class, path);
+        configHandler.load();
+
+        Files.write(path, Arrays.asList(
+                "data-base:",
+                "  host: null"
+        ));
+
+        ConfigValidationIssue issue = assertThrows(ConfigValidationIssue.class, () -> configHandler.load(ValidatedConfig::new));
+        assertEquals(1, issue.getViolations().size());
+        assertEquals("data-base.host", issue.getViolations().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("Sections inside lists and maps are validated")
+    public void testContainerSections() throws IOException {
+        Path path = Paths.get("test.yml");
+        ConfigHandler<ServersConfig> configHandler = new ConfigHandler<>(ServersConfig.class, path);
+        configHandler.load();
+
+        Files.write(path, Arrays.asList(
+                "retries: -1",
+                "servers:",
+                "  - host: \"a\"",
+                "    port: 1",
+                "  - host: \"b\"",
+                "    port: 0",
+                "replicas:",
+                "  eu:",
+                "    host: \"\""
+        ));
+
+        ConfigValidationIssue issue = assertThrows(ConfigValidationIssue.class, () -> configHandler.load(ServersConfig::new));
+        List<String> keys = issue.getViolations().stream()
+                .map(ConstraintViolation::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("replicas.eu.host", "retries", "servers.1.port"), keys);
+
+        List<String> messages = issue.getViolations().stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toList());
+        assertTrue(messages.contains("must be at least 0"));
+        assertTrue(messages.contains("must be between 1 and 65535"));
+    }
+
+    @Test
+    @DisplayName("Constraint on an unsupported field type is rejected")
+    public void testWrongFieldType() {
+        ConfigHandler<WrongTypeConfig> configHandler = new ConfigHandler<>(WrongTypeConfig.class, Paths.get("test.yml"));
+
+        assertThrows(IllegalStateException.class, () -> configHandler.load(WrongTypeConfig::new));
+    }
+
+    @Test
+    @DisplayName("Defaults of keys missing from the file are validated while binding")
+    public void testMissingKeysWhileBinding() throws IOException {
+        Path path = Paths.get("test.yml");
+        Files.write(path, Arrays.asList(
+                "listed:",
+                "  - port: 5",
+                "  - port: 0"
+        ));
+
+        ConfigHandler<InvalidDefaultConfig> configHandler = new ConfigHandler<>(InvalidDefaultConfig.class, path);
+        ConfigValidationIssue issue = assertThrows(ConfigValidationIssue.class, () -> configHandler.load(InvalidDefaultConfig::new));
+        List<String> keys = issue.getViolations().stream()
+                .map(ConstraintViolation::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("listed.1.port", "missing.port", "name"), keys);
+    }
+
+    @Test
+    @DisplayName("Constraint on an unsupported field type is rejected when reading")
+    public void testWrongFieldTypeWhileBinding() throws IOException {
+        Path path = Paths.get("test.yml");
+        Files.write(path, Arrays.asList("poolSize: \"10\""));
+
+        ConfigHandler<WrongTypeConfig> configHandler = new ConfigHandler<>(WrongTypeConfig.class, path);
+
+        assertThrows(IllegalStateException.class, () -> configHandler.load(WrongTypeConfig::new));
+    }
+}